@@ -110,7 +110,7 @@ export class LibraryComponent implements OnInit, OnDestroy {
     if (confirm('Are you sure you want to delete this track?')) {
       this.trackService.deleteTrack(id).subscribe({
         next: () => {
-          this.trackService.loadTracks(); 
+          // the change stream removes the track from the list
         },
         error: (error) => {
           console.error('Error deleting track:', error);
@@ -25,4 +25,12 @@ export interface TrackFilters {
   category: string;
   sortBy: 'title' | 'artist' | 'addedDate' | 'duration';
   sortOrder: 'asc' | 'desc';
-}
\ No newline at end of file
+}
+
+export interface TrackChange {
+  // <epoch>-<sequence>, opaque to the client
+  eventId: string;
+  type: 'CREATED' | 'UPDATED' | 'DELETED';
+  trackId: number;
+  track?: Track;
+}
@@ -1,8 +1,9 @@
-import { Injectable } from '@angular/core';
+import { Injectable, Inject, PLATFORM_ID } from '@angular/core';
+import { isPlatformBrowser } from '@angular/common';
 import { HttpClient } from '@angular/common/http';
 import { Observable, BehaviorSubject } from 'rxjs';
 import { map, catchError } from 'rxjs/operators';
-import { Track, TrackUpload, TrackFilters } from '../models/track.model';
+import { Track, TrackUpload, TrackFilters, TrackChange } from '../models/track.model';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -21,26 +22,71 @@ export class TrackService {
   private errorSubject = new BehaviorSubject<string | null>(null);
   error$ = this.errorSubject.asObservable();
 
-  constructor(private http: HttpClient) {
+  private eventSource?: EventSource;
+  private isBrowser: boolean;
+
+  constructor(private http: HttpClient, @Inject(PLATFORM_ID) platformId: Object) {
+    this.isBrowser = isPlatformBrowser(platformId);
     this.loadTracks();
   }
 
+  // Starts from the id the list was fetched at, so nothing committed in between is lost.
+  // EventSource reconnects by itself and resends Last-Event-ID, so missed deltas are replayed.
+  private watchChanges(lastEventId: string | null): void {
+    this.eventSource?.close();
+
+    const query = lastEventId !== null ? `?lastEventId=${encodeURIComponent(lastEventId)}` : '';
+    this.eventSource = new EventSource(`${this.apiUrl}/changes${query}`);
+
+    ['CREATED', 'UPDATED', 'DELETED'].forEach(type => {
+      this.eventSource!.addEventListener(type, event => {
+        this.applyChange(JSON.parse((event as MessageEvent).data));
+      });
+    });
+
+    // the server no longer has the events we missed
+    this.eventSource.addEventListener('reset', () => this.loadTracks());
+  }
+
+  // Deltas are idempotent, so replaying one the list already contains is harmless
+  private applyChange(change: TrackChange): void {
+    const tracks = [...this.tracksSubject.value];
+    const index = tracks.findIndex(track => track.id === change.trackId);
+
+    if (!change.track) {
+      if (index !== -1) {
+        tracks.splice(index, 1);
+      }
+    } else if (index !== -1) {
+      tracks[index] = this.convertToAbsoluteUrls(change.track);
+    } else {
+      tracks.push(this.convertToAbsoluteUrls(change.track));
+    }
+    this.tracksSubject.next(tracks);
+  }
+
   
   loadTracks(): void {
     this.loadingSubject.next(true);
     this.errorSubject.next(null);
     
-    this.http.get<Track[]>(this.apiUrl).pipe(
-      map(tracks => tracks.map(track => this.convertToAbsoluteUrls(track))),
+    this.http.get<Track[]>(this.apiUrl, { observe: 'response' }).pipe(
+      map(response => ({
+        tracks: (response.body ?? []).map(track => this.convertToAbsoluteUrls(track)),
+        lastEventId: response.headers.get('X-Last-Event-Id')
+      })),
       catchError(error => {
         this.errorSubject.next('Failed to load tracks');
         this.loadingSubject.next(false);
         throw error;
       })
     ).subscribe({
-      next: (tracks) => {
+      next: ({ tracks, lastEventId }) => {
         this.tracksSubject.next(tracks);
         this.loadingSubject.next(false);
+        if (this.isBrowser) {
+          this.watchChanges(lastEventId);
+        }
       },
       error: () => {
         this.loadingSubject.next(false);
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request: from JVM launch until GET /api/tracks answers 200.
+#
+#   ./mvnw -DskipTests package              && scripts/startup-benchmark.sh baseline
+#   ./mvnw -DskipTests -Pfast-start package && scripts/startup-benchmark.sh fast-start
+#
+# Needs the database from the selected Spring profiles to be reachable.
+set -euo pipefail
+
+MODE="${1:-baseline}"
+RUNS="${RUNS:-5}"
+PORT="${PORT:-8080}"
+PROFILES="${PROFILES:-prod}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-120}"
+
+cd "$(dirname "$0")/.."
+WAR_NAME="musicstream-0.0.1-SNAPSHOT.war"
+
+case "$MODE" in
+  baseline)
+    WORK_DIR="target"
+    JVM_ARGS=()
+    ;;
+  fast-start)
+    WORK_DIR="target/fast-start"
+    JVM_ARGS=(-XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true)
+    PROFILES="${PROFILES},fast-start"
+    ;;
+  *)
+    echo "usage: $0 [baseline|fast-start]" >&2
+    exit 1
+    ;;
+esac
+
+if [[ ! -f "$WORK_DIR/$WAR_NAME" ]]; then
+  echo "$WORK_DIR/$WAR_NAME not found, build it first" >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+results=()
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  (cd "$WORK_DIR" && exec java ${JVM_ARGS[@]+"${JVM_ARGS[@]}"} -Dserver.port="$PORT" \
+      -Dspring.profiles.active="$PROFILES" -jar "$WAR_NAME") > "target/startup-run-$run.log" 2>&1 &
+  pid=$!
+
+  deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+  until curl -sf -o /dev/null "http://localhost:$PORT/api/tracks"; do
+    if ! kill -0 "$pid" 2>/dev/null || (( $(date +%s) > deadline )); then
+      echo "run $run: application did not answer, see target/startup-run-$run.log" >&2
+      kill "$pid" 2>/dev/null || true
+      exit 1
+    fi
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  results+=("$elapsed")
+  echo "run $run: ${elapsed} ms"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "$MODE: median time-to-first-request ${sorted[$(( RUNS / 2 ))]} ms over $RUNS runs"
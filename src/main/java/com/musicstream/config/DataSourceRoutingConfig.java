@@ -0,0 +1,81 @@
+package com.musicstream.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaHealthMonitor replicaHealthMonitor(HikariDataSource primaryDataSource,
+                                                     ReplicaRoutingProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (ReplicaRoutingProperties.Replica replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + index;
+            index++;
+            replicas.put(name, new HikariDataSource(replicaConfig(primaryDataSource, name, replica)));
+        }
+        return new ReplicaHealthMonitor(replicas, properties.getMaxStaleness(), properties.getHealthCheckInterval());
+    }
+
+    /**
+     * Starts from the primary pool's bound spring.datasource.hikari settings (auto-commit,
+     * timeouts, driver data-source properties) so replica connections behave the same way
+     * under Hibernate, then applies the replica's own endpoint and pool size.
+     */
+    static HikariConfig replicaConfig(HikariConfig primary, String name, ReplicaRoutingProperties.Replica replica) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            config.setUsername(replica.getUsername());
+        }
+        if (replica.getPassword() != null) {
+            config.setPassword(replica.getPassword());
+        }
+        config.setMaximumPoolSize(replica.getMaximumPoolSize());
+        if (primary.getMinimumIdle() > replica.getMaximumPoolSize()) {
+            config.setMinimumIdle(replica.getMaximumPoolSize());
+        }
+        config.setReadOnly(true);
+        // don't fail startup if a replica is down, the monitor keeps it out of rotation
+        config.setInitializationFailTimeout(-1);
+        return config;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor) {
+        Map<Object, Object> targets = new HashMap<>(replicaHealthMonitor.replicaDataSources());
+        targets.put(ReadReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(replicaHealthMonitor);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
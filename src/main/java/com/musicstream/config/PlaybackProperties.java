@@ -0,0 +1,28 @@
+package com.musicstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "playback.prefetch")
+public class PlaybackProperties {
+    private int count = 3;
+    private DataSize rangeSize = DataSize.ofKilobytes(256);
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public DataSize getRangeSize() {
+        return rangeSize;
+    }
+
+    public void setRangeSize(DataSize rangeSize) {
+        this.rangeSize = rangeSize;
+    }
+}
@@ -0,0 +1,114 @@
+package com.musicstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private boolean trustForwardedFor = false;
+    private Duration idleEviction = Duration.ofMinutes(10);
+    private final Api api = new Api();
+    private final Audio audio = new Audio();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public Duration getIdleEviction() {
+        return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+        this.idleEviction = idleEviction;
+    }
+
+    public Api getApi() {
+        return api;
+    }
+
+    public Audio getAudio() {
+        return audio;
+    }
+
+    public static class Api {
+        private double requestsPerSecond = 20;
+        private int burst = 40;
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+
+    public static class Audio {
+        private int bitrateKbps = 320;
+        private double headroom = 1.5;
+        private DataSize burst = DataSize.ofMegabytes(1);
+        // the per-client cap across all of its streams, in streams' worth of rate and burst
+        private int streamsPerClient = 3;
+
+        public int getBitrateKbps() {
+            return bitrateKbps;
+        }
+
+        public void setBitrateKbps(int bitrateKbps) {
+            this.bitrateKbps = bitrateKbps;
+        }
+
+        public double getHeadroom() {
+            return headroom;
+        }
+
+        public void setHeadroom(double headroom) {
+            this.headroom = headroom;
+        }
+
+        public DataSize getBurst() {
+            return burst;
+        }
+
+        public void setBurst(DataSize burst) {
+            this.burst = burst;
+        }
+
+        public int getStreamsPerClient() {
+            return streamsPerClient;
+        }
+
+        public void setStreamsPerClient(int streamsPerClient) {
+            this.streamsPerClient = streamsPerClient;
+        }
+
+        public double bytesPerSecond() {
+            return bitrateKbps * 1000 / 8.0 * headroom;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.musicstream.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically probes every replica and keeps the list of replicas that are
+ * reachable and whose replay lag is within the configured staleness tolerance.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    // Replay lag in seconds, NULL when it cannot be bounded. While the WAL receiver is streaming,
+    // a standby that has replayed everything it received is 0 behind, however long ago the last
+    // transaction was. Without a streaming receiver that equality proves nothing (a disconnected
+    // standby catches up with what it has and stays there), so only the age of the last replayed
+    // transaction counts. The receiver status is only visible to roles with pg_read_all_stats;
+    // without it the check falls back to the timestamp age. A primary or standalone instance is 0.
+    static final String LAG_QUERY =
+            "SELECT CASE "
+                    + "WHEN NOT pg_is_in_recovery() THEN 0 "
+                    + "WHEN EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN "
+                    + "CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                    + "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())), 0) END "
+                    + "ELSE EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) "
+                    + "END";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxStaleness;
+    private final Duration interval;
+
+    private volatile List<String> healthyReplicas = List.of();
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaHealthMonitor(Map<String, DataSource> replicas, Duration maxStaleness, Duration interval) {
+        this.replicas = replicas;
+        this.maxStaleness = maxStaleness;
+        this.interval = interval;
+    }
+
+    public void start() {
+        checkNow();
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkNow,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (DataSource dataSource : replicas.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close replica pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    public Map<String, DataSource> replicaDataSources() {
+        return replicas;
+    }
+
+    public List<String> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    void checkNow() {
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, DataSource> entry : replicas.entrySet()) {
+            if (isHealthy(entry.getKey(), entry.getValue())) {
+                healthy.add(entry.getKey());
+            }
+        }
+        if (!healthy.equals(healthyReplicas)) {
+            log.info("Healthy read replicas: {}", healthy);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    private boolean isHealthy(String name, DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(Math.max(1, (int) interval.toSeconds()));
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                double lagSeconds = rs.next() ? rs.getDouble(1) : Double.MAX_VALUE;
+                if (rs.wasNull()) {
+                    log.warn("Replica {} is not streaming and has no replayed transaction, lag unknown", name);
+                    return false;
+                }
+                if (lagSeconds * 1000 > maxStaleness.toMillis()) {
+                    log.warn("Replica {} is {}s behind, exceeding tolerance of {}", name, lagSeconds, maxStaleness);
+                    return false;
+                }
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("Replica {} failed health check: {}", name, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.musicstream.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Narrows spring.main.lazy-initialization (fast-start profile) to the
+     * application's controllers and services. MVC resolves controllers by
+     * bean name on first request, and nothing in those packages has to run
+     * before then. Everything else stays eager: filters, data sources, the
+     * replica health monitor, Hibernate and MVC infrastructure, so
+     * misconfiguration still fails at startup and not on the first request.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter onlyApplicationBeansLazy() {
+        return (beanName, definition, beanType) -> beanType == null || !isLazySafe(beanType);
+    }
+
+    private static boolean isLazySafe(Class<?> beanType) {
+        String name = beanType.getName();
+        return name.startsWith("com.musicstream.controller.")
+                || name.startsWith("com.musicstream.service.");
+    }
+}
@@ -0,0 +1,106 @@
+package com.musicstream.controller;
+
+import com.musicstream.dto.PlayQueueDTO;
+import com.musicstream.dto.PlayQueueRequestDTO;
+import com.musicstream.service.PlayQueueService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/queues")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(
+        origins = {"http://localhost:4200", "http://localhost:4201"},
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS},
+        allowedHeaders = "*",
+        allowCredentials = "true"
+)
+public class PlayQueueController {
+
+    private final PlayQueueService playQueueService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getQueueById(@PathVariable Long id) {
+        try {
+            log.info("GET /api/queues/{} - Fetching play queue", id);
+            PlayQueueDTO queue = playQueueService.getQueueById(id);
+            return ResponseEntity.ok(queue);
+        } catch (RuntimeException e) {
+            log.error("Play queue not found with id: {}", id, e);
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+
+
+    @PostMapping
+    public ResponseEntity<?> createQueue(@RequestBody PlayQueueRequestDTO request) {
+        try {
+            log.info("POST /api/queues - Creating play queue");
+            PlayQueueDTO queue = playQueueService.createQueue(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(queue);
+        } catch (IllegalArgumentException e) {
+            log.error("Validation error creating play queue: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            throw e;
+        }
+    }
+
+
+    // Without an index the queue advances to the next track
+    @PostMapping("/{id}/position")
+    public ResponseEntity<?> moveTo(@PathVariable Long id,
+                                    @RequestParam(value = "index", required = false) Integer index) {
+        try {
+            log.info("POST /api/queues/{}/position - Moving to {}", id, index != null ? index : "next");
+            PlayQueueDTO queue = playQueueService.moveTo(id, index);
+            return ResponseEntity.ok(queue);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                log.error("Play queue not found with id: {}", id);
+                Map<String, String> error = new HashMap<>();
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            throw e;
+        }
+    }
+
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteQueue(@PathVariable Long id) {
+        try {
+            log.info("DELETE /api/queues/{} - Deleting play queue", id);
+            playQueueService.deleteQueue(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                log.error("Play queue not found with id: {}", id);
+                Map<String, String> error = new HashMap<>();
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            throw e;
+        }
+    }
+}
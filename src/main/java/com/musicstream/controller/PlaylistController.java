@@ -0,0 +1,119 @@
+package com.musicstream.controller;
+
+import com.musicstream.dto.PlaylistDTO;
+import com.musicstream.dto.PlaylistRequestDTO;
+import com.musicstream.service.PlaylistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/playlists")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(
+        origins = {"http://localhost:4200", "http://localhost:4201"},
+        methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS},
+        allowedHeaders = "*",
+        allowCredentials = "true"
+)
+public class PlaylistController {
+
+    private final PlaylistService playlistService;
+
+    @GetMapping
+    public ResponseEntity<?> getAllPlaylists() {
+        try {
+            log.info("GET /api/playlists - Fetching all playlists");
+            List<PlaylistDTO> playlists = playlistService.getAllPlaylists();
+            return ResponseEntity.ok(playlists);
+        } catch (Exception e) {
+            log.error("Error fetching all playlists", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to fetch playlists");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getPlaylistById(@PathVariable Long id) {
+        try {
+            log.info("GET /api/playlists/{} - Fetching playlist", id);
+            PlaylistDTO playlist = playlistService.getPlaylistById(id);
+            return ResponseEntity.ok(playlist);
+        } catch (RuntimeException e) {
+            log.error("Playlist not found with id: {}", id, e);
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+
+
+    @PostMapping
+    public ResponseEntity<?> createPlaylist(@RequestBody PlaylistRequestDTO request) {
+        try {
+            log.info("POST /api/playlists - Creating playlist");
+            PlaylistDTO playlist = playlistService.createPlaylist(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(playlist);
+        } catch (IllegalArgumentException e) {
+            log.error("Validation error creating playlist: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (Exception e) {
+            log.error("Error creating playlist", e);
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Failed to create playlist: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updatePlaylist(@PathVariable Long id, @RequestBody PlaylistRequestDTO request) {
+        try {
+            log.info("PUT /api/playlists/{} - Updating playlist", id);
+            PlaylistDTO playlist = playlistService.updatePlaylist(id, request);
+            return ResponseEntity.ok(playlist);
+        } catch (IllegalArgumentException e) {
+            log.error("Validation error updating playlist: {}", e.getMessage());
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                log.error("Playlist not found with id: {}", id);
+                Map<String, String> error = new HashMap<>();
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            throw e;
+        }
+    }
+
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deletePlaylist(@PathVariable Long id) {
+        try {
+            log.info("DELETE /api/playlists/{} - Deleting playlist", id);
+            playlistService.deletePlaylist(id);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            if (e.getMessage().contains("not found")) {
+                log.error("Playlist not found with id: {}", id);
+                Map<String, String> error = new HashMap<>();
+                error.put("message", e.getMessage());
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            throw e;
+        }
+    }
+}
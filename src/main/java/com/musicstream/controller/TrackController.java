@@ -2,14 +2,18 @@ package com.musicstream.controller;
 
 import com.musicstream.dto.TrackDTO;
 import com.musicstream.dto.TrackUploadDTO;
+import com.musicstream.service.TrackChangeFeed;
 import com.musicstream.service.TrackService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -23,19 +27,32 @@ import java.util.Map;
         origins = {"http://localhost:4200", "http://localhost:4201"},
         methods = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.OPTIONS},
         allowedHeaders = "*",
+        exposedHeaders = TrackChangeFeed.LAST_EVENT_ID_HEADER,
         allowCredentials = "true"
 )
 public class TrackController {
 
     private final TrackService trackService;
+    private final TrackChangeFeed trackChangeFeed;
+    private final TrackListWriter trackListWriter;
 
     @GetMapping
-    public ResponseEntity<List<TrackDTO>> getAllTracks() {
+    public ResponseEntity<StreamingResponseBody> getAllTracks(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
             log.info("GET /api/tracks - Fetching all tracks");
-            List<TrackDTO> tracks = trackService.getAllTracks();
-            log.info("Successfully fetched {} tracks", tracks.size());
-            return ResponseEntity.ok(tracks);
+            MediaType mediaType = trackListWriter.negotiate(accept);
+            if (mediaType == null) {
+                return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+            }
+            // read before the tracks, which come from the primary, so replaying from this id
+            // can only repeat changes, never skip one
+            String lastEventId = trackChangeFeed.lastEventId();
+            return ResponseEntity.ok()
+                    .contentType(mediaType)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                    .header(TrackChangeFeed.LAST_EVENT_ID_HEADER, lastEventId)
+                    .body(trackListWriter.body(mediaType));
         } catch (Exception e) {
             log.error("Error fetching all tracks", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -208,4 +225,14 @@ public class TrackController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
+
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        log.info("GET /api/tracks/changes - Subscribing from event {}", lastEventId);
+        return trackChangeFeed.subscribe(lastEventId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.musicstream.controller;
+
+import com.musicstream.dto.TrackDTO;
+import com.musicstream.service.TrackService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.util.List;
+
+/**
+ * Writes the full track list as a JSON, CBOR or Smile array in keyset pages.
+ * Each page is read in its own short transaction and written after the
+ * connection has gone back to the pool, so a slow client never holds one.
+ * Pages are read from the primary because the listing seeds the change
+ * stream from the event id taken before it.
+ */
+@Component
+@Slf4j
+public class TrackListWriter {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    // in server preference order, used to break q-value ties
+    private static final List<MediaType> PRODUCIBLE =
+            List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+    static final int PAGE_SIZE = 500;
+
+    private final TrackService trackService;
+    private final JsonMapper jsonMapper;
+    private final CBORMapper cborMapper;
+    private final SmileMapper smileMapper;
+
+    // Boot's mappers carry the spring.jackson settings; plain ones only if the format isn't auto-configured
+    public TrackListWriter(TrackService trackService,
+                           JsonMapper jsonMapper,
+                           ObjectProvider<CBORMapper> cborMapper,
+                           ObjectProvider<SmileMapper> smileMapper) {
+        this.trackService = trackService;
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborMapper.getIfAvailable(() -> CBORMapper.builder().build());
+        this.smileMapper = smileMapper.getIfAvailable(() -> SmileMapper.builder().build());
+    }
+
+    /**
+     * Picks the producible type with the highest quality in the Accept header,
+     * taking each type's q from the most specific range that matches it.
+     * Returns {@code null} when none is acceptable.
+     */
+    public MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        MediaType best = null;
+        double bestQuality = 0;
+        for (MediaType candidate : PRODUCIBLE) {
+            double quality = qualityOf(candidate, acceptable);
+            if (quality > bestQuality) {
+                best = candidate;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Reads the first page right away, so a database failure still surfaces
+     * as an error status before the response is committed.
+     */
+    public StreamingResponseBody body(MediaType mediaType) {
+        ObjectMapper mapper = mapperFor(mediaType);
+        List<TrackDTO> firstPage = trackService.getTracksAfterFromPrimary(0, PAGE_SIZE);
+
+        return outputStream -> {
+            SequenceWriter writer = mapper.writerFor(TrackDTO.class).writeValuesAsArray(outputStream);
+            List<TrackDTO> page = firstPage;
+            try {
+                while (true) {
+                    writer.writeAll(page);
+                    if (page.size() < PAGE_SIZE) {
+                        break;
+                    }
+                    page = trackService.getTracksAfterFromPrimary(page.get(page.size() - 1).getId(), PAGE_SIZE);
+                }
+            } catch (RuntimeException e) {
+                // leave the array unterminated so the client sees a broken body, not a short list
+                log.error("Failed while streaming track list", e);
+                throw e;
+            }
+            writer.close();
+        };
+    }
+
+    private static double qualityOf(MediaType candidate, List<MediaType> acceptable) {
+        int bestSpecificity = -1;
+        double quality = 0;
+        for (MediaType range : acceptable) {
+            if (!range.includes(candidate)) {
+                continue;
+            }
+            int specificity = range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+            if (specificity > bestSpecificity) {
+                bestSpecificity = specificity;
+                quality = range.getQualityValue();
+            }
+        }
+        return quality;
+    }
+
+    private ObjectMapper mapperFor(MediaType mediaType) {
+        if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaType)) {
+            return cborMapper;
+        }
+        if (APPLICATION_SMILE.equalsTypeAndSubtype(mediaType)) {
+            return smileMapper;
+        }
+        return jsonMapper;
+    }
+}
@@ -0,0 +1,14 @@
+package com.musicstream.dto;
+
+import lombok.Data;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class PlayQueueDTO {
+    private Long id;
+    private Integer currentIndex;
+    private LocalDateTime updatedDate;
+    private List<TrackDTO> tracks;
+    private List<PrefetchHintDTO> nextUp;
+}
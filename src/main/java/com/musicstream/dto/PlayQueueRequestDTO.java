@@ -0,0 +1,12 @@
+package com.musicstream.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class PlayQueueRequestDTO {
+    // either a playlist to copy or an explicit list of tracks
+    private Long playlistId;
+    private List<Long> trackIds;
+    private Integer startIndex;
+}
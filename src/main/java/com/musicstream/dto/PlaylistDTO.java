@@ -0,0 +1,29 @@
+package com.musicstream.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlaylistDTO {
+    private Long id;
+    private String name;
+    private String description;
+    private LocalDateTime createdDate;
+    private Integer trackCount;
+    // only filled in for a single playlist
+    private List<TrackDTO> tracks;
+    private List<PrefetchHintDTO> nextUp;
+
+    public PlaylistDTO(Long id, String name, String description, LocalDateTime createdDate, Integer trackCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.createdDate = createdDate;
+        this.trackCount = trackCount;
+    }
+}
@@ -0,0 +1,11 @@
+package com.musicstream.dto;
+
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class PlaylistRequestDTO {
+    private String name;
+    private String description;
+    private List<Long> trackIds;
+}
@@ -0,0 +1,15 @@
+package com.musicstream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrefetchHintDTO {
+    private Long trackId;
+    private String audioUrl;
+    // value for the Range header, e.g. "bytes=0-262143"
+    private String range;
+}
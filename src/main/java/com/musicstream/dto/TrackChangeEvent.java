@@ -0,0 +1,20 @@
+package com.musicstream.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackChangeEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    // <epoch>-<sequence>, see the SSE id
+    private String eventId;
+    private Type type;
+    private Long trackId;
+    // null for DELETED
+    private TrackDTO track;
+}
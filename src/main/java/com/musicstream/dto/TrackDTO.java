@@ -1,9 +1,11 @@
 package com.musicstream.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import java.time.LocalDateTime;
 
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class TrackDTO {
     private Long id;
     private String title;
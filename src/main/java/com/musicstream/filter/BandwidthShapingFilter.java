@@ -0,0 +1,312 @@
+package com.musicstream.filter;
+
+import com.musicstream.config.RateLimitProperties;
+import com.musicstream.config.StorageProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves /uploads/audio files with a cap on how fast each stream is sent.
+ * A stream gets the configured burst immediately so playback starts without
+ * delay, then is held to roughly the real-time bitrate plus headroom.
+ *
+ * Bytes go out through non-blocking servlet I/O: when the bucket is empty
+ * the transfer is resumed by a timer instead of parking the request thread,
+ * so throttled listeners hold no container thread. Every chunk is charged
+ * to two buckets: one per client and file, so seeking within a file does not
+ * earn a fresh burst, and one per client worth a few streams, so pulling many
+ * files in parallel gains nothing beyond that.
+ *
+ * Like the resource handler it replaces for these files, it sends
+ * Last-Modified, answers If-Modified-Since with 304 and only honours a Range
+ * whose If-Range still matches the file.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class BandwidthShapingFilter extends OncePerRequestFilter {
+
+    private static final String AUDIO_PREFIX = "/uploads/audio/";
+    private static final int MAX_CHUNK_SIZE = 16 * 1024;
+
+    private final RateLimitProperties properties;
+    private final Path audioRoot;
+    private final ClientBuckets streamBuckets;
+    private final ClientBuckets clientBuckets;
+    private final int chunkSize;
+    private final ScheduledExecutorService resumer;
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final Counter bytesSent;
+    private final Timer throttleTime;
+
+    public BandwidthShapingFilter(RateLimitProperties properties,
+                                  StorageProperties storageProperties,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.audioRoot = Paths.get(storageProperties.getLocation()).resolve("audio").toAbsolutePath().normalize();
+        RateLimitProperties.Audio audio = properties.getAudio();
+        this.streamBuckets = new ClientBuckets(
+                () -> new TokenBucket(audio.bytesPerSecond(), audio.getBurst().toBytes()),
+                properties.getIdleEviction());
+        int streams = audio.getStreamsPerClient();
+        this.clientBuckets = new ClientBuckets(
+                () -> new TokenBucket(audio.bytesPerSecond() * streams, audio.getBurst().toBytes() * streams),
+                properties.getIdleEviction());
+        // a chunk larger than the burst could never be granted
+        this.chunkSize = (int) Math.min(MAX_CHUNK_SIZE, audio.getBurst().toBytes());
+        this.resumer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "audio-shaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bytesSent = meterRegistry.counter("musicstream.bandwidth.bytes");
+        this.throttleTime = meterRegistry.timer("musicstream.bandwidth.throttle");
+        Gauge.builder("musicstream.bandwidth.streams", activeStreams, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"GET".equals(request.getMethod())
+                || !ClientBuckets.pathWithinApplication(request).startsWith(AUDIO_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = ClientBuckets.pathWithinApplication(request);
+        Path file = audioRoot.resolve(path.substring(AUDIO_PREFIX.length())).normalize();
+        if (!file.startsWith(audioRoot) || !Files.isRegularFile(file)) {
+            // let the resource handler produce its usual 404
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        // sets Last-Modified; answers 304 (If-Modified-Since) or 412 (If-Unmodified-Since)
+        if (new ServletWebRequest(request, response).checkNotModified(lastModified)) {
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, lastModified)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // multi-range requests are answered with the whole file
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    partial = true;
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(contentType.toString());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentLengthLong(end - start + 1);
+        if (partial) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        String client = ClientBuckets.clientKey(request, properties.isTrustForwardedFor());
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(0);
+
+        ShapedTransfer transfer = new ShapedTransfer(asyncContext, response.getOutputStream(), channel,
+                streamBuckets.forKey(client + "|" + path), clientBuckets.forKey(client), start, end - start + 1);
+        asyncContext.addListener(transfer);
+        activeStreams.incrementAndGet();
+        response.getOutputStream().setWriteListener(transfer);
+    }
+
+    // No ETag is issued, so only an If-Range date equal to Last-Modified can match;
+    // anything else means the file may have changed and the whole of it is sent
+    private static boolean ifRangeMatches(HttpServletRequest request, long lastModified) {
+        if (request.getHeader(HttpHeaders.IF_RANGE) == null) {
+            return true;
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        resumer.shutdownNow();
+    }
+
+    private final class ShapedTransfer implements WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final FileChannel channel;
+        private final TokenBucket streamBucket;
+        private final TokenBucket clientBucket;
+        private final ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private long position;
+        private long remaining;
+
+        ShapedTransfer(AsyncContext asyncContext, ServletOutputStream out, FileChannel channel,
+                       TokenBucket streamBucket, TokenBucket clientBucket, long position, long remaining) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.channel = channel;
+            this.streamBucket = streamBucket;
+            this.clientBucket = clientBucket;
+            this.position = position;
+            this.remaining = remaining;
+        }
+
+        // Entered either by the container (after isReady() went false) or by resume(), never both
+        @Override
+        public void onWritePossible() throws IOException {
+            while (!finished.get() && out.isReady()) {
+                if (remaining == 0) {
+                    finish();
+                    return;
+                }
+                int chunk = (int) Math.min(chunkSize, remaining);
+                long waitNanos = acquire(chunk);
+                if (waitNanos > 0) {
+                    throttleTime.record(waitNanos, TimeUnit.NANOSECONDS);
+                    resumer.schedule(this::resume, waitNanos, TimeUnit.NANOSECONDS);
+                    return;
+                }
+
+                buffer.clear().limit(chunk);
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    finish();
+                    return;
+                }
+                out.write(buffer.array(), 0, read);
+                bytesSent.increment(read);
+                position += read;
+                remaining -= read;
+            }
+        }
+
+        // Charges both buckets or neither, so a chunk one refuses is not lost from the other
+        private long acquire(int chunk) {
+            long waitNanos = streamBucket.tryAcquire(chunk);
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            waitNanos = clientBucket.tryAcquire(chunk);
+            if (waitNanos > 0) {
+                streamBucket.refund(chunk);
+            }
+            return waitNanos;
+        }
+
+        private void resume() {
+            if (finished.get()) {
+                return;
+            }
+            try {
+                asyncContext.start(() -> {
+                    try {
+                        onWritePossible();
+                    } catch (Exception e) {
+                        onError(e);
+                    }
+                });
+            } catch (IllegalStateException e) {
+                finish();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.debug("Audio stream aborted: {}", t.getMessage());
+            finish();
+        }
+
+        private void finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            activeStreams.decrementAndGet();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close audio file: {}", e.getMessage());
+            }
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // already completed by the container
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
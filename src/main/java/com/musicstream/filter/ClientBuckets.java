@@ -0,0 +1,62 @@
+package com.musicstream.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * One token bucket per key (a client, or a client and resource). Buckets that have been full for longer
+ * than the idle timeout are swept on access, at most once per timeout.
+ */
+public class ClientBuckets {
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Supplier<TokenBucket> factory;
+    private final long idleNanos;
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public ClientBuckets(Supplier<TokenBucket> factory, Duration idleEviction) {
+        this.factory = factory;
+        this.idleNanos = idleEviction.toNanos();
+    }
+
+    public TokenBucket forKey(String key) {
+        sweepIfDue();
+        return buckets.computeIfAbsent(key, k -> factory.get());
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public static String pathWithinApplication(HttpServletRequest request) {
+        return URL_PATH_HELPER.getPathWithinApplication(request);
+    }
+
+    public static String clientKey(HttpServletRequest request, boolean trustForwardedFor) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma == -1 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void sweepIfDue() {
+        long now = System.nanoTime();
+        long last = lastSweep.get();
+        if (now - last < idleNanos || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isIdleSince(now, idleNanos));
+    }
+}
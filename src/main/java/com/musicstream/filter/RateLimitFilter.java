@@ -0,0 +1,75 @@
+package com.musicstream.filter;
+
+import com.musicstream.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client request rate limit for the REST API, keyed by client address.
+ * Rejected requests get a 429 with a Retry-After header.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final ClientBuckets buckets;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        RateLimitProperties.Api api = properties.getApi();
+        this.buckets = new ClientBuckets(
+                () -> new TokenBucket(api.getRequestsPerSecond(), api.getBurst()),
+                properties.getIdleEviction());
+        this.allowed = meterRegistry.counter("musicstream.ratelimit.requests", "outcome", "allowed");
+        this.rejected = meterRegistry.counter("musicstream.ratelimit.requests", "outcome", "rejected");
+        Gauge.builder("musicstream.ratelimit.clients", buckets, ClientBuckets::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !ClientBuckets.pathWithinApplication(request).startsWith("/api/")
+                || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = ClientBuckets.clientKey(request, properties.isTrustForwardedFor());
+        long waitNanos = buckets.forKey(client).tryAcquire(1);
+
+        if (waitNanos == 0) {
+            allowed.increment();
+            chain.doFilter(request, response);
+            return;
+        }
+
+        rejected.increment();
+        log.warn("Rate limit exceeded for client {} on {}", client, request.getRequestURI());
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests\"}");
+    }
+}
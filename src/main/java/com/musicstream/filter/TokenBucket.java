@@ -0,0 +1,57 @@
+package com.musicstream.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, implemented as a generic cell rate algorithm: the
+ * only state is the theoretical arrival time of the next token, updated by CAS.
+ */
+public class TokenBucket {
+
+    private final double nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double tokensPerSecond, long burst) {
+        if (tokensPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be greater than 0");
+        }
+        this.nanosPerToken = 1_000_000_000d / tokensPerSecond;
+        this.burstNanos = (long) (burst * nanosPerToken);
+    }
+
+    /**
+     * Takes {@code tokens} if available. Returns 0 on success, otherwise the
+     * nanoseconds until they would be.
+     */
+    public long tryAcquire(long tokens) {
+        return tryAcquire(tokens, System.nanoTime());
+    }
+
+    long tryAcquire(long tokens, long now) {
+        long cost = (long) (tokens * nanosPerToken);
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + cost;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back tokens taken by a successful {@link #tryAcquire} that went
+     * unused. Only call it after such an acquire.
+     */
+    public void refund(long tokens) {
+        theoreticalArrival.addAndGet(-(long) (tokens * nanosPerToken));
+    }
+
+    boolean isIdleSince(long now, long idleNanos) {
+        return theoreticalArrival.get() < now - idleNanos;
+    }
+}
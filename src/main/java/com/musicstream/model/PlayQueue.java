@@ -0,0 +1,41 @@
+package com.musicstream.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "play_queues")
+@Data
+public class PlayQueue {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "current_index", nullable = false)
+    private Integer currentIndex = 0;
+
+    @Column(name = "updated_date")
+    private LocalDateTime updatedDate;
+
+    @ManyToMany
+    @JoinTable(
+            name = "play_queue_tracks",
+            joinColumns = @JoinColumn(name = "queue_id"),
+            inverseJoinColumns = @JoinColumn(name = "track_id")
+    )
+    @OrderColumn(name = "position")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Track> tracks = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedDate = LocalDateTime.now();
+    }
+}
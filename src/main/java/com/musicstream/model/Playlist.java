@@ -0,0 +1,43 @@
+package com.musicstream.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "playlists")
+@Data
+public class Playlist {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    @Column(length = 200)
+    private String description;
+
+    @Column(name = "created_date")
+    private LocalDateTime createdDate;
+
+    @ManyToMany
+    @JoinTable(
+            name = "playlist_tracks",
+            joinColumns = @JoinColumn(name = "playlist_id"),
+            inverseJoinColumns = @JoinColumn(name = "track_id")
+    )
+    @OrderColumn(name = "position")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<Track> tracks = new ArrayList<>();
+
+    @PrePersist
+    protected void onCreate() {
+        createdDate = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,22 @@
+package com.musicstream.repository;
+
+import com.musicstream.model.PlayQueue;
+import com.musicstream.model.Track;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface PlayQueueRepository extends JpaRepository<PlayQueue, Long> {
+
+    // Track metadata in queue order, one query
+    @Query("SELECT t FROM PlayQueue q JOIN q.tracks t WHERE q.id = :id ORDER BY INDEX(t)")
+    List<Track> findTracksInOrder(@Param("id") Long id);
+
+    // Every queue holding the track, with its full track list fetched in the same query
+    @Query("SELECT DISTINCT q FROM PlayQueue q JOIN FETCH q.tracks " +
+            "WHERE q.id IN (SELECT q2.id FROM PlayQueue q2 JOIN q2.tracks t WHERE t.id = :trackId)")
+    List<PlayQueue> findAllContainingTrack(@Param("trackId") Long trackId);
+}
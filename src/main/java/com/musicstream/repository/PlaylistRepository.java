@@ -0,0 +1,27 @@
+package com.musicstream.repository;
+
+import com.musicstream.dto.PlaylistDTO;
+import com.musicstream.model.Playlist;
+import com.musicstream.model.Track;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
+
+    @Query("SELECT new com.musicstream.dto.PlaylistDTO(p.id, p.name, p.description, p.createdDate, SIZE(p.tracks)) " +
+            "FROM Playlist p ORDER BY p.name")
+    List<PlaylistDTO> findAllSummaries();
+
+    // Track metadata in playlist order, one query
+    @Query("SELECT t FROM Playlist p JOIN p.tracks t WHERE p.id = :id ORDER BY INDEX(t)")
+    List<Track> findTracksInOrder(@Param("id") Long id);
+
+    // Every playlist holding the track, with its full track list fetched in the same query
+    @Query("SELECT DISTINCT p FROM Playlist p JOIN FETCH p.tracks " +
+            "WHERE p.id IN (SELECT p2.id FROM Playlist p2 JOIN p2.tracks t WHERE t.id = :trackId)")
+    List<Playlist> findAllContainingTrack(@Param("trackId") Long trackId);
+}
@@ -1,6 +1,7 @@
 package com.musicstream.repository;
 
 import com.musicstream.model.Track;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,4 +16,7 @@ public interface TrackRepository extends JpaRepository<Track, Long> {
 
     @Query("SELECT t FROM Track t WHERE LOWER(t.title) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(t.artist) LIKE LOWER(CONCAT('%', :search, '%'))")
     List<Track> searchTracks(@Param("search") String search);
+
+    // Keyset page: the next `limit` tracks after `id`, served by the primary key index
+    List<Track> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
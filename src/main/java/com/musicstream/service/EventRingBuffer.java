@@ -0,0 +1,89 @@
+package com.musicstream.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Fixed-size ring of the most recent events, indexed by event id.
+ *
+ * Event ids are assigned here as {@code <epoch>-<sequence>}. The sequence
+ * starts at 1 and increases by one per event; the epoch is random per
+ * buffer, so an id handed out by another process (before a restart, or by
+ * another instance) never matches this buffer's events.
+ */
+class EventRingBuffer<T> {
+
+    private final String epoch;
+    private final Object[] slots;
+    private long nextSeq = 1;
+
+    EventRingBuffer(int capacity) {
+        this(capacity, Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36));
+    }
+
+    EventRingBuffer(int capacity, String epoch) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be greater than 0");
+        }
+        if (epoch.isEmpty() || epoch.indexOf('-') >= 0) {
+            throw new IllegalArgumentException("Epoch must be non-empty and must not contain '-'");
+        }
+        this.epoch = epoch;
+        this.slots = new Object[capacity];
+    }
+
+    /**
+     * Stores the event {@code factory} builds for the next id and returns it.
+     */
+    synchronized T append(Function<String, T> factory) {
+        T event = factory.apply(idOf(nextSeq));
+        slots[(int) (nextSeq % slots.length)] = event;
+        nextSeq++;
+        return event;
+    }
+
+    /**
+     * Id of the most recent event, {@code <epoch>-0} before the first.
+     */
+    synchronized String lastId() {
+        return idOf(nextSeq - 1);
+    }
+
+    /**
+     * Returns every buffered event after {@code lastEventId}, or {@code null}
+     * when the id was not issued by this buffer (another epoch, unparseable,
+     * or ahead of it) or some of the events after it have been overwritten.
+     */
+    @SuppressWarnings("unchecked")
+    synchronized List<T> since(String lastEventId) {
+        long lastSeq = sequenceOf(lastEventId);
+        long oldest = Math.max(1, nextSeq - slots.length);
+        if (lastSeq < 0 || lastSeq + 1 < oldest || lastSeq >= nextSeq) {
+            return null;
+        }
+        List<T> events = new ArrayList<>();
+        for (long seq = lastSeq + 1; seq < nextSeq; seq++) {
+            events.add((T) slots[(int) (seq % slots.length)]);
+        }
+        return events;
+    }
+
+    private String idOf(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    // -1 unless the id belongs to this epoch
+    private long sequenceOf(String id) {
+        int dash = epoch.length();
+        if (id.length() <= dash + 1 || !id.startsWith(epoch) || id.charAt(dash) != '-') {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id, dash + 1, id.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.musicstream.service;
+
+import com.musicstream.dto.PlayQueueDTO;
+import com.musicstream.dto.PlayQueueRequestDTO;
+import com.musicstream.model.PlayQueue;
+import com.musicstream.model.Track;
+import com.musicstream.repository.PlayQueueRepository;
+import com.musicstream.repository.PlaylistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlayQueueService {
+    private final PlayQueueRepository playQueueRepository;
+    private final PlaylistRepository playlistRepository;
+    private final PlaybackSupport playbackSupport;
+
+    @Transactional(readOnly = true)
+    public PlayQueueDTO getQueueById(Long id) {
+        log.info("Fetching play queue with id: {}", id);
+        PlayQueue queue = playQueueRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Play queue not found with id: " + id));
+        return convertToDTO(queue, playQueueRepository.findTracksInOrder(id));
+    }
+
+
+    @Transactional
+    public PlayQueueDTO createQueue(PlayQueueRequestDTO request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Play queue data cannot be null");
+        }
+
+        List<Track> tracks;
+        if (request.getPlaylistId() != null) {
+            if (!playlistRepository.existsById(request.getPlaylistId())) {
+                throw new RuntimeException("Playlist not found with id: " + request.getPlaylistId());
+            }
+            tracks = new ArrayList<>(playlistRepository.findTracksInOrder(request.getPlaylistId()));
+        } else {
+            tracks = playbackSupport.loadInOrder(request.getTrackIds());
+        }
+
+        if (tracks.isEmpty()) {
+            throw new IllegalArgumentException("A play queue needs at least one track");
+        }
+
+        int startIndex = request.getStartIndex() != null ? request.getStartIndex() : 0;
+        if (startIndex < 0 || startIndex >= tracks.size()) {
+            throw new IllegalArgumentException("Start index out of range: " + startIndex);
+        }
+
+        log.info("Creating play queue with {} tracks", tracks.size());
+
+        PlayQueue queue = new PlayQueue();
+        queue.setTracks(tracks);
+        queue.setCurrentIndex(startIndex);
+
+        PlayQueue savedQueue = playQueueRepository.save(queue);
+        log.info("Play queue created successfully with id: {}", savedQueue.getId());
+
+        return convertToDTO(savedQueue, savedQueue.getTracks());
+    }
+
+
+    /**
+     * Moves the queue to {@code index}, or to the next track when no index is given.
+     */
+    @Transactional
+    public PlayQueueDTO moveTo(Long id, Integer index) {
+        PlayQueue queue = playQueueRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Play queue not found with id: " + id));
+        List<Track> tracks = playQueueRepository.findTracksInOrder(id);
+
+        int target = index != null ? index : queue.getCurrentIndex() + 1;
+        if (target < 0 || target >= tracks.size()) {
+            throw new IllegalArgumentException("Queue index out of range: " + target);
+        }
+
+        log.info("Moving play queue {} to index {}", id, target);
+        queue.setCurrentIndex(target);
+        playQueueRepository.save(queue);
+
+        return convertToDTO(queue, tracks);
+    }
+
+
+    @Transactional
+    public void deleteQueue(Long id) {
+        log.info("Deleting play queue with id: {}", id);
+
+        PlayQueue queue = playQueueRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Play queue not found with id: " + id));
+
+        playQueueRepository.delete(queue);
+        log.info("Play queue deleted successfully with id: {}", id);
+    }
+
+
+    // Called before a track is deleted; keeps the current index on the same track where possible
+    @Transactional
+    public void removeTrackFromAll(Long trackId) {
+        for (PlayQueue queue : playQueueRepository.findAllContainingTrack(trackId)) {
+            queue.setCurrentIndex(removeTrack(queue.getTracks(), trackId, queue.getCurrentIndex()));
+        }
+    }
+
+
+    /**
+     * Removes every occurrence of {@code trackId} from {@code tracks} and
+     * returns the index that keeps pointing at the same track. If the current
+     * track itself was removed, the result points at the track that followed
+     * it, clamped to the end of the list.
+     */
+    static int removeTrack(List<Track> tracks, Long trackId, int currentIndex) {
+        int removedBefore = 0;
+        for (int i = tracks.size() - 1; i >= 0; i--) {
+            if (trackId.equals(tracks.get(i).getId())) {
+                tracks.remove(i);
+                if (i < currentIndex) {
+                    removedBefore++;
+                }
+            }
+        }
+        int newIndex = currentIndex - removedBefore;
+        return Math.max(0, Math.min(newIndex, tracks.size() - 1));
+    }
+
+
+    private PlayQueueDTO convertToDTO(PlayQueue queue, List<Track> tracks) {
+        PlayQueueDTO dto = new PlayQueueDTO();
+        dto.setId(queue.getId());
+        dto.setCurrentIndex(queue.getCurrentIndex());
+        dto.setUpdatedDate(queue.getUpdatedDate());
+        dto.setTracks(tracks.stream()
+                .map(TrackService::convertToDTO)
+                .collect(Collectors.toList()));
+        dto.setNextUp(playbackSupport.nextUp(tracks, queue.getCurrentIndex()));
+        return dto;
+    }
+}
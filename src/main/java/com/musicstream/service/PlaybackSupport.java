@@ -0,0 +1,65 @@
+package com.musicstream.service;
+
+import com.musicstream.config.PlaybackProperties;
+import com.musicstream.dto.PrefetchHintDTO;
+import com.musicstream.model.Track;
+import com.musicstream.repository.TrackRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Shared by playlists and queues: resolving track ids in order and building
+ * "next up" prefetch hints.
+ */
+@Component
+@RequiredArgsConstructor
+class PlaybackSupport {
+
+    private final TrackRepository trackRepository;
+    private final PlaybackProperties properties;
+
+    /**
+     * Loads the tracks with one query and returns them in the order of
+     * {@code trackIds}, duplicates included.
+     */
+    List<Track> loadInOrder(List<Long> trackIds) {
+        if (trackIds == null || trackIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Track> byId = trackRepository.findAllById(trackIds)
+                .stream()
+                .collect(Collectors.toMap(Track::getId, Function.identity()));
+
+        List<Track> ordered = new ArrayList<>(trackIds.size());
+        for (Long id : trackIds) {
+            Track track = byId.get(id);
+            if (track == null) {
+                throw new IllegalArgumentException("Track not found with id: " + id);
+            }
+            ordered.add(track);
+        }
+        return ordered;
+    }
+
+    /**
+     * Hints for the tracks following {@code currentIndex}: the first byte
+     * range of each, so the client can buffer it before the track change.
+     */
+    List<PrefetchHintDTO> nextUp(List<Track> tracks, int currentIndex) {
+        String range = "bytes=0-" + (properties.getRangeSize().toBytes() - 1);
+        List<PrefetchHintDTO> hints = new ArrayList<>();
+        for (int i = currentIndex + 1; i < tracks.size() && hints.size() < properties.getCount(); i++) {
+            Track track = tracks.get(i);
+            if (track.getAudioUrl() != null) {
+                hints.add(new PrefetchHintDTO(track.getId(), track.getAudioUrl(), range));
+            }
+        }
+        return hints;
+    }
+}
@@ -0,0 +1,124 @@
+package com.musicstream.service;
+
+import com.musicstream.dto.PlaylistDTO;
+import com.musicstream.dto.PlaylistRequestDTO;
+import com.musicstream.model.Playlist;
+import com.musicstream.model.Track;
+import com.musicstream.repository.PlaylistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlaylistService {
+    private final PlaylistRepository playlistRepository;
+    private final PlaybackSupport playbackSupport;
+
+    @Transactional(readOnly = true)
+    public List<PlaylistDTO> getAllPlaylists() {
+        log.info("Fetching all playlists");
+        return playlistRepository.findAllSummaries();
+    }
+
+
+    @Transactional(readOnly = true)
+    public PlaylistDTO getPlaylistById(Long id) {
+        log.info("Fetching playlist with id: {}", id);
+        Playlist playlist = playlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Playlist not found with id: " + id));
+        return convertToDTO(playlist, playlistRepository.findTracksInOrder(id));
+    }
+
+
+    @Transactional
+    public PlaylistDTO createPlaylist(PlaylistRequestDTO request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Playlist data cannot be null");
+        }
+
+        if (request.getName() == null || request.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Playlist name is required");
+        }
+
+        log.info("Creating playlist: {}", request.getName());
+
+        Playlist playlist = new Playlist();
+        playlist.setName(request.getName().trim());
+        playlist.setDescription(request.getDescription() != null ? request.getDescription().trim() : "");
+        playlist.setTracks(playbackSupport.loadInOrder(request.getTrackIds()));
+
+        Playlist savedPlaylist = playlistRepository.save(playlist);
+        log.info("Playlist created successfully with id: {}", savedPlaylist.getId());
+
+        return convertToDTO(savedPlaylist, savedPlaylist.getTracks());
+    }
+
+
+    @Transactional
+    public PlaylistDTO updatePlaylist(Long id, PlaylistRequestDTO request) {
+        log.info("Updating playlist with id: {}", id);
+
+        if (request == null) {
+            throw new IllegalArgumentException("Playlist data cannot be null");
+        }
+
+        Playlist playlist = playlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Playlist not found with id: " + id));
+
+        if (request.getName() != null && !request.getName().trim().isEmpty()) {
+            playlist.setName(request.getName().trim());
+        }
+
+        if (request.getDescription() != null) {
+            playlist.setDescription(request.getDescription().trim());
+        }
+
+        if (request.getTrackIds() != null) {
+            playlist.getTracks().clear();
+            playlist.getTracks().addAll(playbackSupport.loadInOrder(request.getTrackIds()));
+        }
+
+        Playlist updatedPlaylist = playlistRepository.save(playlist);
+        log.info("Playlist updated successfully with id: {}", id);
+
+        return convertToDTO(updatedPlaylist, updatedPlaylist.getTracks());
+    }
+
+
+    @Transactional
+    public void deletePlaylist(Long id) {
+        log.info("Deleting playlist with id: {}", id);
+
+        Playlist playlist = playlistRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Playlist not found with id: " + id));
+
+        playlistRepository.delete(playlist);
+        log.info("Playlist deleted successfully with id: {}", id);
+    }
+
+
+    // Called before a track is deleted so the ordered join rows are rewritten without gaps
+    @Transactional
+    public void removeTrackFromAll(Long trackId) {
+        for (Playlist playlist : playlistRepository.findAllContainingTrack(trackId)) {
+            playlist.getTracks().removeIf(track -> trackId.equals(track.getId()));
+        }
+    }
+
+
+    private PlaylistDTO convertToDTO(Playlist playlist, List<Track> tracks) {
+        PlaylistDTO dto = new PlaylistDTO(playlist.getId(), playlist.getName(), playlist.getDescription(),
+                playlist.getCreatedDate(), tracks.size());
+        dto.setTracks(tracks.stream()
+                .map(TrackService::convertToDTO)
+                .collect(Collectors.toList()));
+        dto.setNextUp(playbackSupport.nextUp(tracks, -1));
+        return dto;
+    }
+}
@@ -0,0 +1,243 @@
+package com.musicstream.service;
+
+import com.musicstream.config.ChangeFeedProperties;
+import com.musicstream.dto.TrackChangeEvent;
+import com.musicstream.dto.TrackDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans catalogue changes out to SSE subscribers.
+ *
+ * Appends and replays run on a single dispatcher thread, so event ids reach
+ * every subscriber in order and a resuming client cannot miss an event
+ * between its replay and its registration. The dispatcher serialises each
+ * event once and only offers the frame to each subscriber's bounded queue;
+ * a small sender pool does the blocking writes, with at most one sender per
+ * subscriber. A subscriber whose queue overflows is closed and resumes from
+ * its Last-Event-ID on reconnect, so one slow client cannot stall the others.
+ */
+@Service
+@Slf4j
+public class TrackChangeFeed {
+
+    // Sent with GET /api/tracks: the change stream position the listing is at least as new as
+    public static final String LAST_EVENT_ID_HEADER = "X-Last-Event-Id";
+
+    private final EventRingBuffer<Frame> buffer;
+    private final JsonMapper jsonMapper;
+    private final long emitterTimeoutMillis;
+    private final int queueSize;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+
+    public TrackChangeFeed(ChangeFeedProperties properties, JsonMapper jsonMapper) {
+        this.buffer = new EventRingBuffer<>(properties.getBufferSize());
+        this.jsonMapper = jsonMapper;
+        this.emitterTimeoutMillis = properties.getEmitterTimeout().toMillis();
+        this.queueSize = properties.getSubscriberQueueSize();
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(daemonThreads("track-change-dispatcher"));
+        this.senders = Executors.newFixedThreadPool(properties.getSenderThreads(), daemonThreads("track-change-sender"));
+        long heartbeat = properties.getHeartbeatInterval().toMillis();
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records a change. Inside a transaction the event is only emitted once
+     * the transaction commits.
+     */
+    public void publish(TrackChangeEvent.Type type, Long trackId, TrackDTO track) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(type, trackId, track);
+                }
+            });
+        } else {
+            dispatch(type, trackId, track);
+        }
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+
+        dispatcher.execute(() -> {
+            List<Frame> missed = lastEventId != null ? buffer.since(lastEventId) : List.of();
+            Frame reset = null;
+            if (missed == null) {
+                // too far behind, or the id is from another process: refetch the list and continue from this id
+                String id = buffer.lastId();
+                reset = new Frame(id, "reset", jsonMapper.writeValueAsString(Map.of("lastEventId", id)));
+                missed = List.of();
+            }
+
+            Subscriber subscriber = new Subscriber(emitter, queueSize + missed.size() + 1);
+            emitter.onCompletion(() -> subscriber.close(false));
+            emitter.onTimeout(() -> subscriber.close(true));
+            emitter.onError(e -> subscriber.close(false));
+
+            if (reset != null) {
+                subscriber.offer(reset);
+            }
+            missed.forEach(subscriber::offer);
+            subscribers.add(subscriber);
+        });
+        return emitter;
+    }
+
+    /**
+     * Id of the most recent event, {@code <epoch>-0} before the first. A client
+     * that reads this before fetching the track list can subscribe from it
+     * without gaps.
+     */
+    public String lastEventId() {
+        return buffer.lastId();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void dispatch(TrackChangeEvent.Type type, Long trackId, TrackDTO track) {
+        dispatcher.execute(() -> {
+            Frame frame = buffer.append(id -> new Frame(id, type.name(),
+                    jsonMapper.writeValueAsString(new TrackChangeEvent(id, type, trackId, track))));
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(frame);
+            }
+        });
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(Frame.HEARTBEAT);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * An SSE frame serialised once and shared by every subscriber.
+     */
+    record Frame(String id, String name, String json) {
+        static final Frame HEARTBEAT = new Frame(null, null, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("keep-alive");
+            }
+            return SseEmitter.event()
+                    .id(id)
+                    .name(name)
+                    .data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Frame> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean completeEmitter;
+
+        Subscriber(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // Called from the dispatcher only; never blocks
+        void offer(Frame frame) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                log.debug("Change subscriber fell behind, closing it so it resumes from its last event id");
+                close(true);
+            }
+            scheduleDrain();
+        }
+
+        void close(boolean complete) {
+            closed = true;
+            completeEmitter |= complete;
+            subscribers.remove(this);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (Exception e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        // Only the thread that owns the draining flag touches the emitter
+        private void drain() {
+            while (true) {
+                Frame frame;
+                while (!closed && (frame = queue.poll()) != null) {
+                    try {
+                        emitter.send(frame.toEvent());
+                    } catch (Exception e) {
+                        log.debug("Dropping change subscriber: {}", e.getMessage());
+                        closed = true;
+                        subscribers.remove(this);
+                    }
+                }
+                if (closed) {
+                    queue.clear();
+                    if (completeEmitter) {
+                        completeEmitter = false;
+                        emitter.complete();
+                    }
+                    return;
+                }
+                draining.set(false);
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+}
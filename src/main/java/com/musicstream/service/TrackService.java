@@ -1,11 +1,13 @@
 package com.musicstream.service;
 
+import com.musicstream.dto.TrackChangeEvent;
 import com.musicstream.dto.TrackDTO;
 import com.musicstream.dto.TrackUploadDTO;
 import com.musicstream.model.Track;
 import com.musicstream.repository.TrackRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -20,16 +22,52 @@ import java.util.stream.Collectors;
 public class TrackService {
     private final TrackRepository trackRepository;
     private final StorageService storageService;
+    private final TrackChangeFeed trackChangeFeed;
+    private final PlaylistService playlistService;
+    private final PlayQueueService playQueueService;
 
+    @Transactional(readOnly = true)
     public List<TrackDTO> getAllTracks() {
         log.info("Fetching all tracks");
         return trackRepository.findAll()
                 .stream()
-                .map(this::convertToDTO)
+                .map(TrackService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
 
+    /**
+     * One keyset page of tracks ordered by id, starting after {@code afterId}.
+     * Each page is its own short read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public List<TrackDTO> getTracksAfter(long afterId, int limit) {
+        return findTracksAfter(afterId, limit);
+    }
+
+
+    /**
+     * Same page as {@link #getTracksAfter}, but in a read-write transaction so
+     * replica routing keeps it on the primary. Use it when the listing seeds
+     * the change stream: a lagging replica could miss a change the feed has
+     * already moved past, and that change would never be replayed.
+     */
+    @Transactional
+    public List<TrackDTO> getTracksAfterFromPrimary(long afterId, int limit) {
+        return findTracksAfter(afterId, limit);
+    }
+
+
+    private List<TrackDTO> findTracksAfter(long afterId, int limit) {
+        log.debug("Fetching {} tracks after id {}", limit, afterId);
+        return trackRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit))
+                .stream()
+                .map(TrackService::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+
+    @Transactional(readOnly = true)
     public TrackDTO getTrackById(Long id) {
         log.info("Fetching track with id: {}", id);
         Track track = trackRepository.findById(id)
@@ -90,7 +128,9 @@ public class TrackService {
             Track savedTrack = trackRepository.save(track);
             log.info("Track created successfully with id: {}", savedTrack.getId());
 
-            return convertToDTO(savedTrack);
+            TrackDTO dto = convertToDTO(savedTrack);
+            trackChangeFeed.publish(TrackChangeEvent.Type.CREATED, dto.getId(), dto);
+            return dto;
 
         } catch (Exception e) {
             log.error("Error creating track: {}", e.getMessage(), e);
@@ -156,7 +196,9 @@ public class TrackService {
             Track updatedTrack = trackRepository.save(existingTrack);
             log.info("Track updated successfully with id: {}", updatedTrack.getId());
 
-            return convertToDTO(updatedTrack);
+            TrackDTO dto = convertToDTO(updatedTrack);
+            trackChangeFeed.publish(TrackChangeEvent.Type.UPDATED, dto.getId(), dto);
+            return dto;
 
         } catch (Exception e) {
             log.error("Error updating track: {}", e.getMessage(), e);
@@ -183,7 +225,10 @@ public class TrackService {
                 storageService.deleteFile(track.getCoverUrl());
             }
 
+            playlistService.removeTrackFromAll(id);
+            playQueueService.removeTrackFromAll(id);
             trackRepository.delete(track);
+            trackChangeFeed.publish(TrackChangeEvent.Type.DELETED, id, null);
             log.info("Track deleted successfully with id: {}", id);
 
         } catch (Exception e) {
@@ -193,6 +238,7 @@ public class TrackService {
     }
 
 
+    @Transactional(readOnly = true)
     public List<TrackDTO> searchTracks(String query) {
         log.info("Searching tracks with query: {}", query);
 
@@ -202,12 +248,12 @@ public class TrackService {
 
         return trackRepository.searchTracks(query)
                 .stream()
-                .map(this::convertToDTO)
+                .map(TrackService::convertToDTO)
                 .collect(Collectors.toList());
     }
 
 
-    private TrackDTO convertToDTO(Track track) {
+    static TrackDTO convertToDTO(Track track) {
         TrackDTO dto = new TrackDTO();
         dto.setId(track.getId());
         dto.setTitle(track.getTitle());
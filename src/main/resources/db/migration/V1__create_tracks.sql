@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS tracks (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(50)  NOT NULL,
+    artist      VARCHAR(50)  NOT NULL,
+    description VARCHAR(200),
+    category    VARCHAR(255) NOT NULL,
+    duration    INTEGER      NOT NULL,
+    audio_url   VARCHAR(255),
+    cover_url   VARCHAR(255),
+    added_date  TIMESTAMP(6)
+);
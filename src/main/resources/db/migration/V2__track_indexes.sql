@@ -0,0 +1,15 @@
+-- Equality filter used by findByCategory
+CREATE INDEX IF NOT EXISTS idx_tracks_category ON tracks (category);
+
+-- Artist lookups and sorting
+CREATE INDEX IF NOT EXISTS idx_tracks_artist ON tracks (artist);
+
+-- "Recently added" listings sort on added_date
+CREATE INDEX IF NOT EXISTS idx_tracks_added_date ON tracks (added_date DESC);
+
+-- searchTracks runs LOWER(col) LIKE '%q%', which a btree cannot serve;
+-- trigram GIN indexes on the same expressions can
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_tracks_title_trgm ON tracks USING gin (LOWER(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_tracks_artist_trgm ON tracks USING gin (LOWER(artist) gin_trgm_ops);
@@ -0,0 +1,30 @@
+CREATE TABLE IF NOT EXISTS playlists (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(50) NOT NULL,
+    description  VARCHAR(200),
+    created_date TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS playlist_tracks (
+    playlist_id BIGINT  NOT NULL REFERENCES playlists (id) ON DELETE CASCADE,
+    track_id    BIGINT  NOT NULL REFERENCES tracks (id),
+    position    INTEGER NOT NULL,
+    PRIMARY KEY (playlist_id, position)
+);
+
+CREATE TABLE IF NOT EXISTS play_queues (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    current_index INTEGER NOT NULL DEFAULT 0,
+    updated_date  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS play_queue_tracks (
+    queue_id BIGINT  NOT NULL REFERENCES play_queues (id) ON DELETE CASCADE,
+    track_id BIGINT  NOT NULL REFERENCES tracks (id),
+    position INTEGER NOT NULL,
+    PRIMARY KEY (queue_id, position)
+);
+
+-- Finding the playlists/queues that reference a track before deleting it
+CREATE INDEX IF NOT EXISTS idx_playlist_tracks_track ON playlist_tracks (track_id);
+CREATE INDEX IF NOT EXISTS idx_play_queue_tracks_track ON play_queue_tracks (track_id);
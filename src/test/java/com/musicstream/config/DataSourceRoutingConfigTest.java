@@ -0,0 +1,37 @@
+package com.musicstream.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataSourceRoutingConfigTest {
+
+    @Test
+    void replicaInheritsPrimaryPoolSettings() {
+        HikariConfig primary = new HikariConfig();
+        primary.setJdbcUrl("jdbc:postgresql://localhost:5432/musicStream");
+        primary.setUsername("postgres");
+        primary.setPassword("secret");
+        primary.setAutoCommit(false);
+        primary.setMinimumIdle(5);
+        primary.addDataSourceProperty("prepareThreshold", "3");
+
+        ReplicaRoutingProperties.Replica replica = new ReplicaRoutingProperties.Replica();
+        replica.setUrl("jdbc:postgresql://localhost:5433/musicStream");
+        replica.setMaximumPoolSize(4);
+
+        HikariConfig config = DataSourceRoutingConfig.replicaConfig(primary, "replica-1", replica);
+
+        assertFalse(config.isAutoCommit());
+        assertEquals("3", config.getDataSourceProperties().getProperty("prepareThreshold"));
+        assertEquals("postgres", config.getUsername());
+        assertEquals("jdbc:postgresql://localhost:5433/musicStream", config.getJdbcUrl());
+        assertEquals("replica-1", config.getPoolName());
+        assertEquals(4, config.getMaximumPoolSize());
+        assertEquals(4, config.getMinimumIdle());
+        assertTrue(config.isReadOnly());
+    }
+}
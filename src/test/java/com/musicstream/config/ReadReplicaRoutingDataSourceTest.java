@@ -0,0 +1,91 @@
+package com.musicstream.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    @AfterEach
+    void clearReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void writesGoToPrimary() throws Exception {
+        ReadReplicaRoutingDataSource routing = routingWith(replicaLagging(0.0));
+
+        assertEquals(ReadReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void readOnlyGoesToHealthyReplica() throws Exception {
+        ReadReplicaRoutingDataSource routing = routingWith(replicaLagging(0.0));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void staleReplicaFallsBackToPrimary() throws Exception {
+        ReadReplicaRoutingDataSource routing = routingWith(replicaLagging(30.0));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void replicaWithUnknownLagFallsBackToPrimary() throws Exception {
+        // LAG_QUERY yields NULL for a standby that is not streaming and has never replayed a transaction
+        ReadReplicaRoutingDataSource routing = routingWith(replicaLagging(null));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() throws Exception {
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReadReplicaRoutingDataSource routing = routingWith(down);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(ReadReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    private ReadReplicaRoutingDataSource routingWith(DataSource replica) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replica);
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(replicas, Duration.ofSeconds(5), Duration.ofSeconds(2));
+        monitor.checkNow();
+        return new ReadReplicaRoutingDataSource(monitor);
+    }
+
+    private DataSource replicaLagging(Double seconds) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getDouble(1)).thenReturn(seconds != null ? seconds : 0);
+        when(rs.wasNull()).thenReturn(seconds == null);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(rs);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,140 @@
+package com.musicstream.controller;
+
+import com.musicstream.dto.TrackDTO;
+import com.musicstream.service.TrackService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class TrackControllerEncodingTest {
+
+    private static final int TRACK_COUNT = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TrackService trackService;
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @BeforeEach
+    void stubTracks() {
+        List<TrackDTO> tracks = new ArrayList<>();
+        for (long id = 1; id <= TRACK_COUNT; id++) {
+            TrackDTO track = new TrackDTO();
+            track.setId(id);
+            track.setTitle("Track " + id);
+            track.setArtist("Artist");
+            track.setCategory("pop");
+            track.setDuration(180);
+            track.setAudioUrl("/uploads/audio/track-" + id + ".mp3");
+            tracks.add(track);
+        }
+        // fewer than a page, so the writer stops after the first one
+        when(trackService.getTracksAfterFromPrimary(eq(0L), anyInt())).thenReturn(tracks);
+    }
+
+    @Test
+    void defaultsToJson() throws Exception {
+        byte[] body = fetch(null, MediaType.APPLICATION_JSON);
+
+        assertTracks(JsonMapper.builder().build().readTree(body));
+    }
+
+    @Test
+    void servesCbor() throws Exception {
+        byte[] body = fetch("application/cbor", MediaType.APPLICATION_CBOR);
+
+        assertTracks(CBORMapper.builder().build().readTree(body));
+    }
+
+    @Test
+    void servesSmile() throws Exception {
+        byte[] body = fetch("application/x-jackson-smile", TrackListWriter.APPLICATION_SMILE);
+
+        assertTracks(SmileMapper.builder().build().readTree(body));
+    }
+
+    @Test
+    void honoursQualityValues() throws Exception {
+        fetch("application/json;q=0.1, application/cbor", MediaType.APPLICATION_CBOR);
+        fetch("application/cbor;q=0.2, */*;q=0.5", MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void rejectsUnacceptableType() throws Exception {
+        mockMvc.perform(get("/api/tracks").header(HttpHeaders.ACCEPT, "text/html"))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void compressesWhenClientAcceptsGzip() throws Exception {
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tracks"))
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+    }
+
+    private byte[] fetch(String accept, MediaType expected) throws Exception {
+        var requestBuilder = get("/api/tracks");
+        if (accept != null) {
+            requestBuilder.header(HttpHeaders.ACCEPT, accept);
+        }
+        MvcResult started = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, expected.toString()))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+    }
+
+    private static void assertTracks(JsonNode tracks) {
+        assertEquals(TRACK_COUNT, tracks.size());
+        assertEquals(1, tracks.get(0).get("id").asLong());
+        assertEquals("Track 1", tracks.get(0).get("title").asString());
+    }
+}
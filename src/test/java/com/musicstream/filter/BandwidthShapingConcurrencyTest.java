@@ -0,0 +1,103 @@
+package com.musicstream.filter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * More throttled audio streams than the connector has request threads must
+ * still leave threads free for other requests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "server.tomcat.threads.max=4",
+        "server.tomcat.threads.min-spare=1",
+        "rate-limit.audio.bitrate-kbps=8",
+        "rate-limit.audio.headroom=1",
+        "rate-limit.audio.burst=4KB"
+})
+class BandwidthShapingConcurrencyTest {
+
+    private static final int STREAMS = 12;
+    private static final Path STORAGE = createStorage();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private final List<InputStream> openBodies = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("storage.location", STORAGE::toString);
+    }
+
+    @BeforeAll
+    static void writeAudioFile() throws IOException {
+        Files.createDirectories(STORAGE.resolve("audio"));
+        // 256KB at 1KB/s after a 4KB burst: each stream stays open for minutes.
+        // One file per stream, since streams of the same file from one client share a bucket.
+        for (int i = 0; i < STREAMS; i++) {
+            Files.write(STORAGE.resolve("audio").resolve("slow-" + i + ".mp3"), new byte[256 * 1024]);
+        }
+    }
+
+    @AfterEach
+    void closeStreams() throws IOException {
+        for (InputStream body : openBodies) {
+            body.close();
+        }
+    }
+
+    @Test
+    void throttledStreamsDoNotHoldRequestThreads() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        List<CompletableFuture<HttpResponse<InputStream>>> streams = new ArrayList<>();
+        for (int i = 0; i < STREAMS; i++) {
+            streams.add(client.sendAsync(get("/uploads/audio/slow-" + i + ".mp3"), HttpResponse.BodyHandlers.ofInputStream()));
+        }
+        for (CompletableFuture<HttpResponse<InputStream>> stream : streams) {
+            HttpResponse<InputStream> response = stream.get(10, TimeUnit.SECONDS);
+            assertEquals(200, response.statusCode());
+            openBodies.add(response.body());
+        }
+
+        // all streams are still being shaped; an unrelated request must still get a thread
+        HttpResponse<String> probe = client.send(get("/uploads/images/missing.png"), HttpResponse.BodyHandlers.ofString());
+        assertEquals(404, probe.statusCode());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    private static Path createStorage() {
+        try {
+            return Files.createTempDirectory("musicstream-shaping");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.musicstream.filter;
+
+import com.musicstream.config.RateLimitProperties;
+import com.musicstream.config.StorageProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BandwidthShapingFilterTest {
+
+    private static final int FILE_SIZE = 4096;
+    private static final long LAST_MODIFIED = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path storage;
+
+    private BandwidthShapingFilter filter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path audio = Files.createDirectories(storage.resolve("audio"));
+        for (String name : new String[] {"a.mp3", "b.mp3"}) {
+            Path file = audio.resolve(name);
+            Files.write(file, new byte[FILE_SIZE]);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(LAST_MODIFIED));
+        }
+
+        RateLimitProperties properties = new RateLimitProperties();
+        // one file's burst exactly, and no more than one stream's worth per client
+        properties.getAudio().setBurst(DataSize.ofBytes(FILE_SIZE));
+        properties.getAudio().setBitrateKbps(8);
+        properties.getAudio().setHeadroom(1);
+        properties.getAudio().setStreamsPerClient(1);
+        StorageProperties storageProperties = new StorageProperties();
+        storageProperties.setLocation(storage.toString());
+        filter = new BandwidthShapingFilter(properties, storageProperties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    private static MockHttpServletRequest request(String contextPath, String path, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", contextPath + path);
+        request.setContextPath(contextPath);
+        request.setRemoteAddr(client);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private CapturingResponse serve(MockHttpServletRequest request) throws Exception {
+        CapturingResponse response = new CapturingResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void matchesAudioPathsUnderContextPath() {
+        assertFalse(filter.shouldNotFilter(request("/musicstream", "/uploads/audio/a.mp3", "10.0.0.1")));
+        assertTrue(filter.shouldNotFilter(request("/musicstream", "/api/tracks", "10.0.0.1")));
+    }
+
+    @Test
+    void sendsLastModifiedAndAnswersIfModifiedSinceWith304() throws Exception {
+        CapturingResponse first = serve(request("", "/uploads/audio/a.mp3", "10.0.0.1"));
+        assertEquals(200, first.getStatus());
+        assertEquals(LAST_MODIFIED, first.mock().getDateHeader(HttpHeaders.LAST_MODIFIED));
+
+        MockHttpServletRequest replay = request("", "/uploads/audio/a.mp3", "10.0.0.1");
+        replay.addHeader(HttpHeaders.IF_MODIFIED_SINCE, LAST_MODIFIED);
+        CapturingResponse second = serve(replay);
+
+        assertEquals(304, second.getStatus());
+        assertEquals(0, second.body.size());
+    }
+
+    @Test
+    void honoursRangeWhenIfRangeMatches() throws Exception {
+        MockHttpServletRequest resume = request("", "/uploads/audio/a.mp3", "10.0.0.1");
+        resume.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+        resume.addHeader(HttpHeaders.IF_RANGE, LAST_MODIFIED);
+        CapturingResponse response = serve(resume);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1000-4095/4096", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(FILE_SIZE - 1000, response.body.size());
+    }
+
+    @Test
+    void sendsWholeFileWhenIfRangeIsStale() throws Exception {
+        MockHttpServletRequest resume = request("", "/uploads/audio/a.mp3", "10.0.0.1");
+        resume.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+        resume.addHeader(HttpHeaders.IF_RANGE, LAST_MODIFIED - 60_000);
+        CapturingResponse response = serve(resume);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(FILE_SIZE, response.body.size());
+    }
+
+    @Test
+    void sendsWholeFileWhenIfRangeIsAnEntityTag() throws Exception {
+        MockHttpServletRequest resume = request("", "/uploads/audio/a.mp3", "10.0.0.1");
+        resume.addHeader(HttpHeaders.RANGE, "bytes=1000-");
+        resume.addHeader(HttpHeaders.IF_RANGE, "\"some-etag\"");
+        CapturingResponse response = serve(resume);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(FILE_SIZE, response.body.size());
+    }
+
+    @Test
+    void parallelFilesShareTheClientBudget() throws Exception {
+        CapturingResponse first = serve(request("", "/uploads/audio/a.mp3", "10.0.0.1"));
+        // a different file has a fresh stream bucket, but the client has used its budget
+        CapturingResponse second = serve(request("", "/uploads/audio/b.mp3", "10.0.0.1"));
+        CapturingResponse otherClient = serve(request("", "/uploads/audio/b.mp3", "10.0.0.2"));
+
+        assertEquals(FILE_SIZE, first.body.size());
+        assertEquals(0, second.body.size());
+        assertNotNull(second.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals(FILE_SIZE, otherClient.body.size());
+    }
+
+    /**
+     * The mock response does not support non-blocking writes; this one
+     * reports itself always ready and writes synchronously.
+     */
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                try {
+                    listener.onWritePossible();
+                } catch (IOException e) {
+                    listener.onError(e);
+                }
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+        };
+
+        CapturingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        MockHttpServletResponse mock() {
+            return (MockHttpServletResponse) getResponse();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.musicstream.filter;
+
+import com.musicstream.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTest {
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getApi().setRequestsPerSecond(1);
+        properties.getApi().setBurst(1);
+        return properties;
+    }
+
+    private static MockHttpServletRequest request(String contextPath, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", contextPath + path);
+        request.setContextPath(contextPath);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    @Test
+    void rejectsOverLimitWithRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(properties(), new SimpleMeterRegistry());
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(request("", "/api/tracks"), first, new MockFilterChain());
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(request("", "/api/tracks"), second, new MockFilterChain());
+
+        assertEquals(200, first.getStatus());
+        assertEquals(429, second.getStatus());
+        assertNotNull(second.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void matchesApiPathsUnderContextPath() {
+        RateLimitFilter filter = new RateLimitFilter(properties(), new SimpleMeterRegistry());
+
+        assertFalse(filter.shouldNotFilter(request("/musicstream", "/api/tracks")));
+        assertTrue(filter.shouldNotFilter(request("/musicstream", "/uploads/audio/a.mp3")));
+    }
+}
@@ -0,0 +1,48 @@
+package com.musicstream.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long now = 0;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(1, now));
+        }
+        long wait = bucket.tryAcquire(1, now);
+        assertTrue(wait > 0 && wait <= SECOND / 10, "expected a wait of at most one token interval, got " + wait);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(1, 0);
+        }
+
+        assertEquals(0, bucket.tryAcquire(1, SECOND / 10));
+        assertTrue(bucket.tryAcquire(1, SECOND / 10) > 0);
+    }
+
+    @Test
+    void refundReturnsUnusedTokens() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(1, 0);
+        }
+        assertTrue(bucket.tryAcquire(1, 0) > 0);
+
+        bucket.refund(2);
+
+        assertEquals(0, bucket.tryAcquire(2, 0));
+        assertTrue(bucket.tryAcquire(1, 0) > 0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.musicstream.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventRingBufferTest {
+
+    private static EventRingBuffer<String> bufferWith(int capacity, int events) {
+        return bufferWith(capacity, "a", events);
+    }
+
+    private static EventRingBuffer<String> bufferWith(int capacity, String epoch, int events) {
+        EventRingBuffer<String> buffer = new EventRingBuffer<>(capacity, epoch);
+        for (int i = 0; i < events; i++) {
+            buffer.append(id -> "e" + id);
+        }
+        return buffer;
+    }
+
+    @Test
+    void emptyBufferHasNothingSinceZero() {
+        EventRingBuffer<String> buffer = bufferWith(4, 0);
+
+        assertEquals("a-0", buffer.lastId());
+        assertTrue(buffer.since("a-0").isEmpty());
+    }
+
+    @Test
+    void returnsEventsAfterGivenId() {
+        EventRingBuffer<String> buffer = bufferWith(4, 3);
+
+        assertEquals(List.of("ea-1", "ea-2", "ea-3"), buffer.since("a-0"));
+        assertEquals(List.of("ea-3"), buffer.since("a-2"));
+        assertTrue(buffer.since("a-3").isEmpty());
+    }
+
+    @Test
+    void oldestRetainedEventIsStillReplayable() {
+        // capacity 4, ids 1..6: 3..6 are retained
+        EventRingBuffer<String> buffer = bufferWith(4, 6);
+
+        assertEquals(List.of("ea-3", "ea-4", "ea-5", "ea-6"), buffer.since("a-2"));
+    }
+
+    @Test
+    void overwrittenEventsRequireReset() {
+        EventRingBuffer<String> buffer = bufferWith(4, 6);
+
+        assertNull(buffer.since("a-1"));
+        assertNull(buffer.since("a-0"));
+    }
+
+    @Test
+    void idAheadOfBufferRequiresReset() {
+        EventRingBuffer<String> buffer = bufferWith(4, 2);
+
+        assertNull(buffer.since("a-3"));
+        assertNull(buffer.since("a-500"));
+    }
+
+    @Test
+    void idFromBeforeRestartRequiresResetEvenWhenInRange() {
+        // the old process got to 40, the client saw up to 30
+        EventRingBuffer<String> beforeRestart = bufferWith(64, "old", 40);
+        String clientId = "old-30";
+        assertEquals(10, beforeRestart.since(clientId).size());
+
+        // the new process has already emitted 50 events, so 30 is inside its window
+        EventRingBuffer<String> afterRestart = bufferWith(64, "new", 50);
+
+        assertNull(afterRestart.since(clientId));
+    }
+
+    @Test
+    void separateBuffersGetDifferentEpochs() {
+        assertNotEquals(new EventRingBuffer<String>(4).lastId(), new EventRingBuffer<String>(4).lastId());
+    }
+
+    @Test
+    void malformedIdsRequireReset() {
+        EventRingBuffer<String> buffer = bufferWith(4, 3);
+
+        assertNull(buffer.since("2"));
+        assertNull(buffer.since("a-"));
+        assertNull(buffer.since("a-x"));
+        assertNull(buffer.since("a--1"));
+        assertNull(buffer.since("ab-1"));
+        assertNull(buffer.since(""));
+    }
+
+    @Test
+    void wrapsAroundManyTimes() {
+        EventRingBuffer<String> buffer = bufferWith(3, 100);
+
+        assertEquals("a-100", buffer.lastId());
+        assertEquals(List.of("ea-99", "ea-100"), buffer.since("a-98"));
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new EventRingBuffer<String>(0));
+    }
+}
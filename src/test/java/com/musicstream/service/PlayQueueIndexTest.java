@@ -0,0 +1,84 @@
+package com.musicstream.service;
+
+import com.musicstream.model.Track;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PlayQueueIndexTest {
+
+    private static List<Track> queueOf(long... ids) {
+        List<Track> tracks = new ArrayList<>();
+        for (long id : ids) {
+            Track track = new Track();
+            track.setId(id);
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    private static List<Long> ids(List<Track> tracks) {
+        return tracks.stream().map(Track::getId).toList();
+    }
+
+    @Test
+    void removalAfterCurrentKeepsIndex() {
+        List<Track> tracks = queueOf(1, 2, 3, 4);
+
+        assertEquals(1, PlayQueueService.removeTrack(tracks, 4L, 1));
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(tracks));
+    }
+
+    @Test
+    void removalBeforeCurrentShiftsIndexBack() {
+        List<Track> tracks = queueOf(1, 2, 3, 4);
+
+        // still on track 3
+        assertEquals(1, PlayQueueService.removeTrack(tracks, 1L, 2));
+        assertEquals(3L, tracks.get(1).getId());
+    }
+
+    @Test
+    void removingCurrentTrackMovesToTheOneAfterIt() {
+        List<Track> tracks = queueOf(1, 2, 3, 4);
+
+        assertEquals(1, PlayQueueService.removeTrack(tracks, 2L, 1));
+        assertEquals(3L, tracks.get(1).getId());
+    }
+
+    @Test
+    void duplicatesAreAllRemovedAndCountedBeforeCurrent() {
+        List<Track> tracks = queueOf(7, 1, 7, 2, 7);
+
+        // current is track 2 at index 3, two copies of 7 sit before it
+        assertEquals(1, PlayQueueService.removeTrack(tracks, 7L, 3));
+        assertEquals(Arrays.asList(1L, 2L), ids(tracks));
+    }
+
+    @Test
+    void removingLastCurrentTrackClampsToEnd() {
+        List<Track> tracks = queueOf(1, 2, 3);
+
+        assertEquals(1, PlayQueueService.removeTrack(tracks, 3L, 2));
+    }
+
+    @Test
+    void emptiedQueueFallsBackToZero() {
+        List<Track> tracks = queueOf(5, 5);
+
+        assertEquals(0, PlayQueueService.removeTrack(tracks, 5L, 1));
+        assertEquals(0, tracks.size());
+    }
+
+    @Test
+    void unknownTrackLeavesQueueUntouched() {
+        List<Track> tracks = queueOf(1, 2, 3);
+
+        assertEquals(2, PlayQueueService.removeTrack(tracks, 9L, 2));
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids(tracks));
+    }
+}
@@ -0,0 +1,159 @@
+package com.musicstream.service;
+
+import com.musicstream.dto.PlayQueueDTO;
+import com.musicstream.dto.PlaylistDTO;
+import com.musicstream.dto.PrefetchHintDTO;
+import com.musicstream.dto.TrackDTO;
+import com.musicstream.model.PlayQueue;
+import com.musicstream.model.Playlist;
+import com.musicstream.model.Track;
+import com.musicstream.repository.PlayQueueRepository;
+import com.musicstream.repository.PlaylistRepository;
+import com.musicstream.repository.TrackRepository;
+import com.musicstream.support.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.musicstream.support.QueryCounter")
+class PlaybackQueryCountTest {
+
+    @Autowired
+    private PlaylistService playlistService;
+
+    @Autowired
+    private PlayQueueService playQueueService;
+
+    @Autowired
+    private TrackRepository trackRepository;
+
+    @Autowired
+    private PlaylistRepository playlistRepository;
+
+    @Autowired
+    private PlayQueueRepository playQueueRepository;
+
+    private final List<Track> tracks = new ArrayList<>();
+    private final List<Long> playlistIds = new ArrayList<>();
+    private final List<Long> queueIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < 5; i++) {
+            Track track = new Track();
+            track.setTitle("Playback " + i);
+            track.setArtist("Tester");
+            track.setCategory("pop");
+            track.setDuration(180);
+            track.setAudioUrl("/uploads/audio/playback-" + i + ".mp3");
+            tracks.add(trackRepository.save(track));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        playQueueRepository.deleteAllById(queueIds);
+        playlistRepository.deleteAllById(playlistIds);
+        trackRepository.deleteAll(tracks);
+        queueIds.clear();
+        playlistIds.clear();
+        tracks.clear();
+    }
+
+    // playlist order deliberately differs from id order
+    private List<Track> shuffled() {
+        return new ArrayList<>(List.of(tracks.get(3), tracks.get(0), tracks.get(4), tracks.get(1), tracks.get(2)));
+    }
+
+    private Playlist savePlaylist(List<Track> content) {
+        Playlist playlist = new Playlist();
+        playlist.setName("Query count");
+        playlist.setTracks(content);
+        Playlist saved = playlistRepository.save(playlist);
+        playlistIds.add(saved.getId());
+        return saved;
+    }
+
+    private PlayQueue saveQueue(List<Track> content, int currentIndex) {
+        PlayQueue queue = new PlayQueue();
+        queue.setTracks(content);
+        queue.setCurrentIndex(currentIndex);
+        PlayQueue saved = playQueueRepository.save(queue);
+        queueIds.add(saved.getId());
+        return saved;
+    }
+
+    private static List<Long> ids(List<Track> content) {
+        return content.stream().map(Track::getId).toList();
+    }
+
+    private static List<Long> dtoIds(List<TrackDTO> content) {
+        return content.stream().map(TrackDTO::getId).toList();
+    }
+
+    @Test
+    void getPlaylistByIdLoadsTracksInOrderWithOneQuery() {
+        List<Track> order = shuffled();
+        Long id = savePlaylist(order).getId();
+
+        // one for the playlist row, one for all of its tracks
+        PlaylistDTO playlist = QueryCounter.assertSelectCount(2, () -> playlistService.getPlaylistById(id));
+
+        assertEquals(ids(order), dtoIds(playlist.getTracks()));
+    }
+
+    @Test
+    void getQueueByIdLoadsTracksInOrderWithOneQuery() {
+        List<Track> order = shuffled();
+        Long id = saveQueue(order, 1).getId();
+
+        PlayQueueDTO queue = QueryCounter.assertSelectCount(2, () -> playQueueService.getQueueById(id));
+
+        assertEquals(ids(order), dtoIds(queue.getTracks()));
+        assertEquals(List.of(order.get(2).getId(), order.get(3).getId(), order.get(4).getId()),
+                queue.getNextUp().stream().map(PrefetchHintDTO::getTrackId).toList());
+    }
+
+    @Test
+    void removeTrackFromAllPlaylistsIsOneSelect() {
+        Track removed = tracks.get(0);
+        Long first = savePlaylist(shuffled()).getId();
+        Long second = savePlaylist(new ArrayList<>(List.of(removed, tracks.get(1), removed))).getId();
+        savePlaylist(new ArrayList<>(List.of(tracks.get(2))));
+
+        QueryCounter.assertSelectCount(1, () -> {
+            playlistService.removeTrackFromAll(removed.getId());
+            return null;
+        });
+
+        assertEquals(List.of(tracks.get(3).getId(), tracks.get(4).getId(), tracks.get(1).getId(), tracks.get(2).getId()),
+                ids(playlistRepository.findTracksInOrder(first)));
+        assertEquals(List.of(tracks.get(1).getId()), ids(playlistRepository.findTracksInOrder(second)));
+    }
+
+    @Test
+    void removeTrackFromAllQueuesIsOneSelect() {
+        Track removed = tracks.get(0);
+        // current track is tracks[4] at index 2, the removed track sits before it
+        Long first = saveQueue(shuffled(), 2).getId();
+        Long second = saveQueue(new ArrayList<>(List.of(tracks.get(1), removed)), 1).getId();
+
+        QueryCounter.assertSelectCount(1, () -> {
+            playQueueService.removeTrackFromAll(removed.getId());
+            return null;
+        });
+
+        PlayQueue firstQueue = playQueueRepository.findById(first).orElseThrow();
+        assertEquals(1, firstQueue.getCurrentIndex());
+        assertEquals(tracks.get(4).getId(), playQueueRepository.findTracksInOrder(first).get(1).getId());
+        assertEquals(0, playQueueRepository.findById(second).orElseThrow().getCurrentIndex());
+    }
+}
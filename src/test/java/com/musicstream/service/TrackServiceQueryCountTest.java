@@ -0,0 +1,70 @@
+package com.musicstream.service;
+
+import com.musicstream.model.Track;
+import com.musicstream.repository.TrackRepository;
+import com.musicstream.support.QueryCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.musicstream.support.QueryCounter")
+class TrackServiceQueryCountTest {
+
+    @Autowired
+    private TrackService trackService;
+
+    @Autowired
+    private TrackRepository trackRepository;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    void seedTracks() {
+        for (int i = 0; i < 5; i++) {
+            Track track = new Track();
+            track.setTitle("Query count " + i);
+            track.setArtist("Tester");
+            track.setCategory("pop");
+            track.setDuration(180);
+            createdIds.add(trackRepository.save(track).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        trackRepository.deleteAllById(createdIds);
+        createdIds.clear();
+    }
+
+    @Test
+    void getAllTracksIssuesSingleSelect() {
+        QueryCounter.assertSelectCount(1, trackService::getAllTracks);
+    }
+
+    @Test
+    void getTracksAfterIssuesSingleSelectPerPage() {
+        QueryCounter.assertSelectCount(1, () -> trackService.getTracksAfter(0, 3));
+    }
+
+    @Test
+    void getTracksAfterFromPrimaryIssuesSingleSelectPerPage() {
+        QueryCounter.assertSelectCount(1, () -> trackService.getTracksAfterFromPrimary(0, 3));
+    }
+
+    @Test
+    void searchTracksIssuesSingleSelect() {
+        QueryCounter.assertSelectCount(1, () -> trackService.searchTracks("query count"));
+    }
+
+    @Test
+    void getTrackByIdIssuesSingleSelect() {
+        Long id = createdIds.get(0);
+        QueryCounter.assertSelectCount(1, () -> trackService.getTrackById(id));
+    }
+}
@@ -0,0 +1,55 @@
+package com.musicstream.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Register it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}
+ * and wrap the code under test with {@link #assertSelectCount(long, Supplier)}
+ * to catch N+1 regressions.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+
+    private static final int SELECT = 0;
+    private static final int OTHER = 1;
+
+    @Override
+    public String inspect(String sql) {
+        long[] counts = COUNTS.get();
+        if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+            counts[SELECT]++;
+        } else {
+            counts[OTHER]++;
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        long[] counts = COUNTS.get();
+        counts[SELECT] = 0;
+        counts[OTHER] = 0;
+    }
+
+    public static long selectCount() {
+        return COUNTS.get()[SELECT];
+    }
+
+    public static long totalCount() {
+        long[] counts = COUNTS.get();
+        return counts[SELECT] + counts[OTHER];
+    }
+
+    public static <T> T assertSelectCount(long expected, Supplier<T> action) {
+        reset();
+        T result = action.get();
+        long actual = selectCount();
+        if (actual != expected) {
+            throw new AssertionError("Expected " + expected + " SELECT statement(s) but Hibernate issued " + actual);
+        }
+        return result;
+    }
+}